@@ -18,9 +18,15 @@
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Objects;
+import org.gradle.internal.classloader.ClassLoaderSpec;
+import org.gradle.internal.classloader.VisitableURLClassLoader;
 import org.gradle.process.JavaForkOptions;
 import org.gradle.process.internal.JavaForkOptionsInternal;
 
+import javax.annotation.Nullable;
+import java.net.URL;
+import java.util.List;
+
 public class DaemonForkOptions {
     private final JavaForkOptionsInternal forkOptions;
     private final KeepAliveMode keepAliveMode;
@@ -47,9 +53,45 @@ public ClassLoaderStructure getClassLoaderStructure() {
     }
 
     public boolean isCompatibleWith(DaemonForkOptions other) {
+        return isCompatibleWith(other, false);
+    }
+
+    /**
+     * Checks whether a daemon started with these options can run work that requires the other options.
+     *
+     * <p>When {@code allowExtendedClassPath} is true, a class loader structure of the same shape is also accepted when, at every level,
+     * its class path starts with the required class path. This is not transparent to the work: the extra entries remain visible, e.g. through
+     * {@link java.util.ServiceLoader}, {@link ClassLoader#getResources(String)} or optional {@code Class.forName} probes, and for flat structures
+     * they are on the daemon's system class path. Plugins, annotation processors or logging bindings from those entries can change the
+     * outcome of the work, so this is only done when explicitly requested.</p>
+     */
+    public boolean isCompatibleWith(DaemonForkOptions other, boolean allowExtendedClassPath) {
         return forkOptions.isCompatibleWith(other.forkOptions)
                 && keepAliveMode == other.getKeepAliveMode()
-                && Objects.equal(classLoaderStructure, other.getClassLoaderStructure());
+                && (allowExtendedClassPath
+                    ? isCompatibleWith(classLoaderStructure, other.getClassLoaderStructure())
+                    : Objects.equal(classLoaderStructure, other.getClassLoaderStructure()));
+    }
+
+    private static boolean isCompatibleWith(@Nullable ClassLoaderStructure available, @Nullable ClassLoaderStructure required) {
+        if (Objects.equal(available, required)) {
+            return true;
+        }
+        if (available == null || required == null || available.getClass() != required.getClass()) {
+            return false;
+        }
+        return isCompatibleWith(available.getSpec(), required.getSpec())
+            && isCompatibleWith(available.getParent(), required.getParent());
+    }
+
+    private static boolean isCompatibleWith(@Nullable ClassLoaderSpec available, @Nullable ClassLoaderSpec required) {
+        if (available instanceof VisitableURLClassLoader.Spec && required instanceof VisitableURLClassLoader.Spec) {
+            List<URL> availableClasspath = ((VisitableURLClassLoader.Spec) available).getClasspath();
+            List<URL> requiredClasspath = ((VisitableURLClassLoader.Spec) required).getClasspath();
+            return availableClasspath.size() >= requiredClasspath.size()
+                && availableClasspath.subList(0, requiredClasspath.size()).equals(requiredClasspath);
+        }
+        return Objects.equal(available, required);
     }
 
     @Override
@@ -21,23 +21,43 @@
 import org.gradle.internal.serialize.Serializer;
 
 import java.io.File;
+import java.util.Arrays;
 
+/**
+ * Serializes work items sent to a worker daemon.
+ *
+ * <p>Consecutive work items usually share their class loader structure, and often their parameters.
+ * These are sent only when they differ from the previous work item, so instances of this serializer are stateful and
+ * must be used for a single stream of messages, written and read in the same order.</p>
+ */
 public class TransportableActionExecutionSpecSerializer implements Serializer<TransportableActionExecutionSpec> {
     private static final byte FLAT = (byte) 0;
     private static final byte HIERARCHICAL = (byte) 1;
+    private static final byte SAME_HIERARCHICAL = (byte) 2;
 
     private final Serializer<HierarchicalClassLoaderStructure> hierarchicalClassLoaderStructureSerializer = new HierarchicalClassLoaderStructureSerializer();
 
+    private HierarchicalClassLoaderStructure previousWrittenStructure;
+    private byte[] previousWrittenParameters;
+    private HierarchicalClassLoaderStructure previousReadStructure;
+    private byte[] previousReadParameters;
+
     @Override
     public void write(Encoder encoder, TransportableActionExecutionSpec spec) throws Exception {
         encoder.writeString(spec.getImplementationClassName());
         encoder.writeBoolean(spec.isInternalServicesRequired());
         encoder.writeString(spec.getBaseDir().getAbsolutePath());
         encoder.writeString(spec.getProjectCacheDir().getAbsolutePath());
-        encoder.writeBinary(spec.getSerializedParameters());
+        writeParameters(encoder, spec.getSerializedParameters());
         if (spec.getClassLoaderStructure() instanceof HierarchicalClassLoaderStructure) {
-            encoder.writeByte(HIERARCHICAL);
-            hierarchicalClassLoaderStructureSerializer.write(encoder, (HierarchicalClassLoaderStructure) spec.getClassLoaderStructure());
+            HierarchicalClassLoaderStructure classLoaderStructure = (HierarchicalClassLoaderStructure) spec.getClassLoaderStructure();
+            if (classLoaderStructure.equals(previousWrittenStructure)) {
+                encoder.writeByte(SAME_HIERARCHICAL);
+            } else {
+                encoder.writeByte(HIERARCHICAL);
+                hierarchicalClassLoaderStructureSerializer.write(encoder, classLoaderStructure);
+                previousWrittenStructure = classLoaderStructure;
+            }
         } else if (spec.getClassLoaderStructure() instanceof FlatClassLoaderStructure) {
             encoder.writeByte(FLAT);
             // If the classloader structure is flat, there's no need to send the classpath
@@ -52,7 +72,7 @@ public TransportableActionExecutionSpec read(Decoder decoder) throws Exception {
         boolean usesInternalServices = decoder.readBoolean();
         String baseDirPath = decoder.readString();
         String projectCacheDir = decoder.readString();
-        byte[] serializedParameters = decoder.readBinary();
+        byte[] serializedParameters = readParameters(decoder);
         byte classLoaderStructureTag = decoder.readByte();
         ClassLoaderStructure classLoaderStructure;
         switch (classLoaderStructureTag) {
@@ -61,10 +81,39 @@ public TransportableActionExecutionSpec read(Decoder decoder) throws Exception {
                 break;
             case HIERARCHICAL:
                 classLoaderStructure = hierarchicalClassLoaderStructureSerializer.read(decoder);
+                previousReadStructure = (HierarchicalClassLoaderStructure) classLoaderStructure;
+                break;
+            case SAME_HIERARCHICAL:
+                if (previousReadStructure == null) {
+                    throw new IllegalStateException("Received a reference to a previous classloader structure, but no classloader structure has been received.");
+                }
+                classLoaderStructure = previousReadStructure;
                 break;
             default:
                 throw new IllegalArgumentException("Unexpected payload type.");
         }
         return new TransportableActionExecutionSpec(implementationClassName, serializedParameters, classLoaderStructure, new File(baseDirPath), new File(projectCacheDir), usesInternalServices);
     }
+
+    private void writeParameters(Encoder encoder, byte[] serializedParameters) throws Exception {
+        if (Arrays.equals(serializedParameters, previousWrittenParameters)) {
+            encoder.writeBoolean(true);
+        } else {
+            encoder.writeBoolean(false);
+            encoder.writeBinary(serializedParameters);
+            previousWrittenParameters = serializedParameters;
+        }
+    }
+
+    private byte[] readParameters(Decoder decoder) throws Exception {
+        if (decoder.readBoolean()) {
+            if (previousReadParameters == null) {
+                throw new IllegalStateException("Received a reference to previous parameters, but no parameters have been received.");
+            }
+            return previousReadParameters;
+        }
+        byte[] serializedParameters = decoder.readBinary();
+        previousReadParameters = serializedParameters;
+        return serializedParameters;
+    }
 }
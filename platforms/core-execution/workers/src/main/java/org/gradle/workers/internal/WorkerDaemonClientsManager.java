@@ -33,13 +33,20 @@
 import org.gradle.util.internal.CollectionUtils;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
 
 import static java.util.Comparator.comparingInt;
 
 public class WorkerDaemonClientsManager implements Stoppable {
 
+    /**
+     * Allows idle worker daemons whose class path extends the class path required by the work to run that work.
+     *
+     * @see DaemonForkOptions#isCompatibleWith(DaemonForkOptions, boolean)
+     */
+    public static final String REUSE_EXTENDED_CLASS_PATH_PROPERTY_KEY = "org.gradle.workers.internal.reuse-extended-class-path";
+
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonClientsManager.class);
 
     private final Object lock = new Object();
@@ -54,9 +61,15 @@ public class WorkerDaemonClientsManager implements Stoppable {
     private final OutputEventListener logLevelChangeEventListener;
     private final WorkerDaemonExpiration workerDaemonExpiration;
     private final MemoryManager memoryManager;
+    private final boolean reuseExtendedClassPath;
     private volatile LogLevel currentLogLevel;
 
     public WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo) {
+        this(workerDaemonStarter, listenerManager, loggingManager, memoryManager, memoryInfo, Boolean.getBoolean(REUSE_EXTENDED_CLASS_PATH_PROPERTY_KEY));
+    }
+
+    WorkerDaemonClientsManager(WorkerDaemonStarter workerDaemonStarter, ListenerManager listenerManager, LoggingManagerInternal loggingManager, MemoryManager memoryManager, OsMemoryInfo memoryInfo, boolean reuseExtendedClassPath) {
+        this.reuseExtendedClassPath = reuseExtendedClassPath;
         this.workerDaemonStarter = workerDaemonStarter;
         this.listenerManager = listenerManager;
         this.loggingManager = loggingManager;
@@ -78,27 +91,45 @@ public WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions) {
 
     WorkerDaemonClient reserveIdleClient(DaemonForkOptions forkOptions, List<WorkerDaemonClient> clients) {
         synchronized (lock) {
-            Iterator<WorkerDaemonClient> it = clients.iterator();
-            while (it.hasNext()) {
-                WorkerDaemonClient candidate = it.next();
+            WorkerDaemonClient compatible = null;
+            // Visit the most recently released clients first, so that a stream of similar work items keeps
+            // running on the same warm daemons while the others stay idle and eventually expire
+            ListIterator<WorkerDaemonClient> it = clients.listIterator(clients.size());
+            while (it.hasPrevious()) {
+                WorkerDaemonClient candidate = it.previous();
                 if (candidate.isFailed()) {
                     emitUnexpectedWorkerFailureWarning(candidate);
                     it.remove();
-                } else {
-                    if (candidate.isCompatibleWith(forkOptions)) {
+                } else if (candidate.getLogLevel() != currentLogLevel) {
+                    if (isCompatible(candidate, forkOptions)) {
+                        // TODO: Send a message to workers to change their log level rather than stopping
+                        LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
                         it.remove();
-                        if (candidate.getLogLevel() != currentLogLevel) {
-                            // TODO: Send a message to workers to change their log level rather than stopping
-                            LOGGER.info("Log level has changed, stopping idle worker daemon with out-of-date log level.");
-                            candidate.stop();
-                        } else {
-                            return candidate;
-                        }
+                        candidate.stop();
+                    }
+                } else if (isCompatible(candidate, forkOptions)) {
+                    // Prefer a daemon started with equivalent options over one with a larger heap or class path
+                    if (forkOptions.isCompatibleWith(candidate.getForkOptions())) {
+                        compatible = candidate;
+                        break;
+                    }
+                    if (compatible == null) {
+                        compatible = candidate;
                     }
                 }
             }
-            return null;
+            if (compatible != null) {
+                clients.remove(compatible);
+            }
+            return compatible;
+        }
+    }
+
+    private boolean isCompatible(WorkerDaemonClient candidate, DaemonForkOptions forkOptions) {
+        if (reuseExtendedClassPath) {
+            return candidate.getForkOptions().isCompatibleWith(forkOptions, true);
         }
+        return candidate.isCompatibleWith(forkOptions);
     }
 
     private static void emitUnexpectedWorkerFailureWarning(WorkerDaemonClient candidate) {
@@ -28,14 +28,25 @@
 
 public class WorkerDaemonExpiration implements MemoryHolder {
 
+    /**
+     * Number of idle worker daemons that are kept warm, and are not expired to free system memory.
+     */
+    public static final String WARM_POOL_SIZE_PROPERTY_KEY = "org.gradle.workers.internal.warm-pool-size";
+
     private static final Logger LOGGER = Logging.getLogger(WorkerDaemonExpiration.class);
 
     private final WorkerDaemonClientsManager clientsManager;
     private final long osTotalMemory;
+    private final int warmPoolSize;
 
     public WorkerDaemonExpiration(WorkerDaemonClientsManager clientsManager, long osTotalMemory) {
+        this(clientsManager, osTotalMemory, Integer.getInteger(WARM_POOL_SIZE_PROPERTY_KEY, 0));
+    }
+
+    WorkerDaemonExpiration(WorkerDaemonClientsManager clientsManager, long osTotalMemory, int warmPoolSize) {
         this.clientsManager = clientsManager;
         this.osTotalMemory = osTotalMemory;
+        this.warmPoolSize = Math.max(0, warmPoolSize);
     }
 
     @Override
@@ -54,6 +65,7 @@ public long attemptToRelease(long memoryAmountBytes) throws IllegalArgumentExcep
      *
      * Use the maximum heap size of each daemon, not their actual memory usage.
      * Expire as much daemons as needed to free the requested memory under the threshold.
+     * The most used idle daemons, up to the warm pool size, are never expired.
      */
     private class SimpleMemoryExpirationSelector implements Transformer<List<WorkerDaemonClient>, List<WorkerDaemonClient>> {
 
@@ -72,7 +84,9 @@ public long getReleasedBytes() {
         public List<WorkerDaemonClient> transform(List<WorkerDaemonClient> idleClients) {
             int notExpirable = 0;
             List<WorkerDaemonClient> toExpire = new ArrayList<>();
-            for (WorkerDaemonClient idleClient : idleClients) {
+            // Idle clients are ordered by number of uses, so the warm pool is at the end of the list
+            int expirationCandidates = Math.max(0, idleClients.size() - warmPoolSize);
+            for (WorkerDaemonClient idleClient : idleClients.subList(0, expirationCandidates)) {
                 if (idleClient.isNotExpirable()) {
                     notExpirable++;
                     continue;
@@ -91,6 +105,9 @@ public List<WorkerDaemonClient> transform(List<WorkerDaemonClient> idleClients)
             if (notExpirable > 0) {
                 LOGGER.debug("{} Worker Daemon(s) had expiration disabled and were skipped", notExpirable);
             }
+            if (expirationCandidates < idleClients.size()) {
+                LOGGER.debug("{} Worker Daemon(s) were kept in the warm pool and were skipped", idleClients.size() - expirationCandidates);
+            }
             return toExpire;
         }
 
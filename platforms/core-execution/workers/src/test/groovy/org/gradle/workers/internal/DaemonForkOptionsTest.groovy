@@ -18,6 +18,7 @@ package org.gradle.workers.internal
 
 import org.gradle.api.internal.file.TestFiles
 import org.gradle.internal.classloader.ClassLoaderSpec
+import org.gradle.internal.classloader.VisitableURLClassLoader
 import org.gradle.process.JavaForkOptions
 import spock.lang.Specification
 
@@ -108,6 +109,58 @@ class DaemonForkOptionsTest extends Specification {
         settings1.isCompatibleWith(settings2)
     }
 
+    def "is not compatible with a classloader structure whose class path is a prefix by default"() {
+        def settings1 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new FlatClassLoaderStructure(urlSpec("a.jar", "b.jar", "c.jar")))
+                .build()
+        def settings2 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new FlatClassLoaderStructure(urlSpec("a.jar", "b.jar")))
+                .build()
+
+        expect:
+        !settings1.isCompatibleWith(settings2)
+        !settings2.isCompatibleWith(settings1)
+    }
+
+    def "is compatible with a classloader structure whose class path is a prefix when extended class paths are allowed"() {
+        def spec1 = Mock(ClassLoaderSpec)
+        def settings1 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new HierarchicalClassLoaderStructure(spec1).withChild(urlSpec("a.jar", "b.jar", "c.jar")))
+                .build()
+        def settings2 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new HierarchicalClassLoaderStructure(spec1).withChild(urlSpec("a.jar", "b.jar")))
+                .build()
+
+        expect:
+        settings1.isCompatibleWith(settings2, true)
+        !settings2.isCompatibleWith(settings1, true)
+    }
+
+    def "is not compatible with a classloader structure whose class path is in a different order"() {
+        def settings1 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new FlatClassLoaderStructure(urlSpec("a.jar", "b.jar", "c.jar")))
+                .build()
+        def settings2 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new FlatClassLoaderStructure(urlSpec("b.jar", "a.jar")))
+                .build()
+
+        expect:
+        !settings1.isCompatibleWith(settings2, true)
+    }
+
+    def "is not compatible with a classloader structure with a different shape"() {
+        def spec1 = Mock(ClassLoaderSpec)
+        def settings1 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new HierarchicalClassLoaderStructure(spec1).withChild(urlSpec("a.jar", "b.jar")))
+                .build()
+        def settings2 = daemonForkOptionsBuilder()
+                .withClassLoaderStructure(new FlatClassLoaderStructure(urlSpec("a.jar")))
+                .build()
+
+        expect:
+        !settings1.isCompatibleWith(settings2, true)
+    }
+
     def "is compatible when classloader structures are null"() {
         def settings1 = daemonForkOptionsBuilder()
                 .withClassLoaderStructure(null)
@@ -187,6 +240,10 @@ class DaemonForkOptionsTest extends Specification {
         !settings1.isCompatibleWith(settings2)
     }
 
+    VisitableURLClassLoader.Spec urlSpec(String... paths) {
+        return new VisitableURLClassLoader.Spec("test", paths.collect { new File(systemSpecificAbsolutePath(it)).toURI().toURL() })
+    }
+
     DaemonForkOptionsBuilder daemonForkOptionsBuilder() {
         def javaForkOptions = TestFiles.execFactory().newJavaForkOptions()
         javaForkOptions.workingDir = systemSpecificAbsolutePath("foo")
@@ -70,6 +70,31 @@ class TransportableActionExecutionSpecSerializerTest extends Specification {
         decodedSpec.internalServicesRequired
     }
 
+    def "sends classloader structure and parameters only when they differ from the previous spec"() {
+        def otherBytes = [ (byte) 4 ] as byte[]
+        def spec1 = new TransportableActionExecutionSpec(Runnable.class.name, bytes, classLoaderStructure(), new File("/foo"), new File("/project-cache"), usesInternalServices)
+        def spec2 = new TransportableActionExecutionSpec(Runnable.class.name, bytes, classLoaderStructure(), new File("/foo"), new File("/project-cache"), usesInternalServices)
+        def spec3 = new TransportableActionExecutionSpec(Runnable.class.name, otherBytes, classLoaderStructure(), new File("/foo"), new File("/project-cache"), usesInternalServices)
+
+        when:
+        serializer.write(encoder, spec1)
+        encoder.flush()
+        def firstSize = outputStream.size()
+        serializer.write(encoder, spec2)
+        serializer.write(encoder, spec3)
+        encoder.flush()
+
+        and:
+        def decoder = new KryoBackedDecoder(new ByteArrayInputStream(outputStream.toByteArray()))
+        def deserializer = new TransportableActionExecutionSpecSerializer()
+        def decodedSpecs = (1..3).collect { deserializer.read(decoder) }
+
+        then:
+        outputStream.size() - firstSize < firstSize
+        decodedSpecs*.serializedParameters == [bytes, bytes, otherBytes]
+        decodedSpecs*.classLoaderStructure == [spec1.classLoaderStructure] * 3
+    }
+
     def filteringClassloaderSpec() {
         def classNames = [ 'allowed.Class1', 'allowed.Class2' ]
         def disallowedClassNames = [ 'disallowed.Class1', 'disallowed.Class2' ]
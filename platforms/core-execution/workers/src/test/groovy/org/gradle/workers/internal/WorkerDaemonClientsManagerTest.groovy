@@ -17,7 +17,9 @@
 package org.gradle.workers.internal
 
 import org.gradle.api.Transformer
+import org.gradle.api.internal.file.TestFiles
 import org.gradle.api.logging.LogLevel
+import org.gradle.internal.classloader.VisitableURLClassLoader
 import org.gradle.internal.event.DefaultListenerManager
 import org.gradle.internal.event.ListenerManager
 import org.gradle.internal.logging.LoggingManagerInternal
@@ -32,6 +34,8 @@ import org.gradle.process.internal.health.memory.MemoryManager
 import org.gradle.util.ConcurrentSpecification
 import spock.lang.Subject
 
+import static org.gradle.api.internal.file.TestFiles.systemSpecificAbsolutePath
+
 class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
     def options = Stub(DaemonForkOptions)
     def starter = Stub(WorkerDaemonStarter)
@@ -66,6 +70,66 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         input == [noMatch] //match removed from input
     }
 
+    def "reserves most recently released compatible client"() {
+        def older = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true }
+        def newer = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> true }
+        def noMatch = Stub(WorkerDaemonClient) { isCompatibleWith(_) >> false }
+        def input = [older, newer, noMatch]
+
+        expect:
+        manager.reserveIdleClient(options, input) == newer
+        input == [older, noMatch]
+    }
+
+    def "prefers idle client started with equivalent options over one with a larger heap"() {
+        def required = forkOptions("1g")
+        def equivalent = idleClient(forkOptions("1g"))
+        def largerHeap = idleClient(forkOptions("2g"))
+        def input = [equivalent, largerHeap]
+
+        expect:
+        largerHeap.isCompatibleWith(required)
+        manager.reserveIdleClient(required, input) == equivalent
+        input == [largerHeap]
+    }
+
+    def "reserves idle client with a larger heap when no equivalent client is idle"() {
+        def required = forkOptions("1g")
+        def largerHeap = idleClient(forkOptions("2g"))
+        def input = [largerHeap]
+
+        expect:
+        manager.reserveIdleClient(required, input) == largerHeap
+        input == []
+    }
+
+    def "does not reserve idle client with an extended class path by default"() {
+        def required = forkOptions("1g", "a.jar")
+        def extended = idleClient(forkOptions("1g", "a.jar", "b.jar"))
+        def input = [extended]
+
+        expect:
+        manager.reserveIdleClient(required, input) == null
+        input == [extended]
+    }
+
+    def "reserves idle client with an extended class path when enabled and prefers an equivalent one"() {
+        manager = new WorkerDaemonClientsManager(starter, listenerManager, loggingManager, memoryManager, new MBeanOsMemoryInfo(new DefaultMBeanAttributeProvider()), true)
+        def required = forkOptions("1g", "a.jar")
+        def equivalent = idleClient(forkOptions("1g", "a.jar"))
+        def extended = idleClient(forkOptions("1g", "a.jar", "b.jar"))
+        def input = [equivalent, extended]
+
+        when:
+        def first = manager.reserveIdleClient(required, input)
+        def second = manager.reserveIdleClient(required, input)
+
+        then:
+        first == equivalent
+        second == extended
+        input == []
+    }
+
     def "reserves new client"() {
         def newClient = Stub(WorkerDaemonClient)
         starter.startDaemon(options) >> newClient
@@ -301,4 +365,22 @@ class WorkerDaemonClientsManagerTest extends ConcurrentSpecification {
         then:
         1 * memoryManager.removeMemoryHolder(_) >> { args -> assert args[0] == workerDaemonExpiration }
     }
+
+    DaemonForkOptions forkOptions(String maxHeapSize, String... classpath) {
+        def javaForkOptions = TestFiles.execFactory().newJavaForkOptions()
+        javaForkOptions.workingDir = systemSpecificAbsolutePath("foo")
+        javaForkOptions.maxHeapSize = maxHeapSize
+        def classLoaderStructure = new FlatClassLoaderStructure(new VisitableURLClassLoader.Spec("test", classpath.collect { new File(systemSpecificAbsolutePath(it)).toURI().toURL() }))
+        return new DaemonForkOptionsBuilder(TestFiles.execFactory())
+            .javaForkOptions(javaForkOptions)
+            .withClassLoaderStructure(classLoaderStructure)
+            .build()
+    }
+
+    WorkerDaemonClient idleClient(DaemonForkOptions daemonForkOptions) {
+        return Stub(WorkerDaemonClient) {
+            getForkOptions() >> daemonForkOptions
+            isCompatibleWith(_) >> { DaemonForkOptions required -> daemonForkOptions.isCompatibleWith(required) }
+        }
+    }
 }
@@ -194,6 +194,30 @@ class WorkerDaemonExpirationTest extends Specification {
         released == new MaximumHeapHelper().getDefaultMaximumHeapSize(MemoryAmount.ofGigaBytes(OS_MEMORY_GB).bytes)
     }
 
+    def "does not expire idle worker daemons kept in the warm pool"() {
+        given:
+        expiration = new WorkerDaemonExpiration(clientsManager, MemoryAmount.ofGigaBytes(OS_MEMORY_GB).bytes, 1)
+        def client1 = reserveNewClient(oneGbOptions)
+        def client2 = reserveNewClient(twoGbOptions)
+
+        and:
+        client1.getUses() >> 1
+        client2.getUses() >> 5
+        clientsManager.release(client1)
+        clientsManager.release(client2)
+
+        when:
+        def released = expiration.attemptToRelease(MemoryAmount.ofGigaBytes(12).bytes)
+
+        then:
+        1 * client1.stop()
+        0 * client2.stop()
+
+        and:
+        released == MemoryAmount.ofGigaBytes(1).bytes
+        reserveIdleClient(twoGbOptions) == client2
+    }
+
     private WorkerDaemonClient reserveNewClient(DaemonForkOptions forkOptions) {
         return clientsManager.reserveNewClient(forkOptions)
     }
@@ -33,13 +33,15 @@
 
 public class FileZipInput implements ZipInput {
 
+    private static final boolean ZIP_FILE_SAFE_TO_USE = isZipFileSafeToUse();
+
     /**
      * Creates a stream of the entries in the given zip file. Caller is responsible for closing the return value.
      *
      * @throws FileException on failure to open the Zip
      */
     public static ZipInput create(File file) throws FileException {
-        if (isZipFileSafeToUse()) {
+        if (ZIP_FILE_SAFE_TO_USE) {
             return new FileZipInput(file);
         } else {
             try {
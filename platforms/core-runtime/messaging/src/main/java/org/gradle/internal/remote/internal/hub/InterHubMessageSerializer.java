@@ -27,7 +27,9 @@
 import org.gradle.internal.remote.internal.hub.protocol.InterHubMessage;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class InterHubMessageSerializer implements StatefulSerializer<InterHubMessage> {
@@ -50,7 +52,8 @@ public ObjectWriter<InterHubMessage> newWriter(Encoder encoder) {
     }
 
     private static class MessageReader implements ObjectReader<InterHubMessage> {
-        private final Map<Integer, ChannelIdentifier> channels = new HashMap<Integer, ChannelIdentifier>();
+        // Channel numbers are allocated sequentially by the writer, so can be used as an index
+        private final List<ChannelIdentifier> channels = new ArrayList<ChannelIdentifier>();
         private final Decoder decoder;
         private final ObjectReader<?> payloadReader;
 
@@ -75,12 +78,12 @@ public InterHubMessage read() throws Exception {
 
         private ChannelIdentifier readChannelId() throws IOException {
             int channelNum = decoder.readSmallInt();
-            ChannelIdentifier channelId = channels.get(channelNum);
-            if (channelId == null) {
-                String channel = decoder.readString();
-                channelId = new ChannelIdentifier(channel);
-                channels.put(channelNum, channelId);
+            if (channelNum < channels.size()) {
+                return channels.get(channelNum);
             }
+            String channel = decoder.readString();
+            ChannelIdentifier channelId = new ChannelIdentifier(channel);
+            channels.add(channelId);
             return channelId;
         }
     }
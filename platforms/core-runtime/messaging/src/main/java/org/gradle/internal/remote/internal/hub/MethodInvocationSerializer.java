@@ -21,7 +21,9 @@
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class MethodInvocationSerializer implements StatefulSerializer<MethodInvocation> {
@@ -67,7 +69,8 @@ private static class MethodInvocationWriter implements ObjectWriter<MethodInvoca
 
         @Override
         public void write(MethodInvocation value) throws Exception {
-            if (value.getArguments().length != value.getMethod().getParameterTypes().length) {
+            // Use getParameterCount() rather than getParameterTypes(), which copies the parameter types on each call
+            if (value.getArguments().length != value.getMethod().getParameterCount()) {
                 throw new IllegalArgumentException(String.format("Mismatched number of parameters to method %s.", value.getMethod()));
             }
             MethodDetails methodDetails = writeMethod(value.getMethod());
@@ -109,7 +112,8 @@ private static class MethodInvocationReader implements ObjectReader<MethodInvoca
         private final Decoder decoder;
         private final ClassLoader classLoader;
         private final MethodArgsSerializer methodArgsSerializer;
-        private final Map<Integer, MethodDetails> methods = new HashMap<Integer, MethodDetails>();
+        // Method ids are allocated sequentially by the writer, so can be used as an index
+        private final List<MethodDetails> methods = new ArrayList<MethodDetails>();
 
         MethodInvocationReader(Decoder decoder, ClassLoader classLoader, MethodArgsSerializer methodArgsSerializer) {
             this.decoder = decoder;
@@ -130,19 +134,19 @@ private Object[] readArguments(MethodDetails methodDetails) throws Exception {
 
         private MethodDetails readMethod() throws ClassNotFoundException, NoSuchMethodException, IOException {
             int methodId = decoder.readSmallInt();
-            MethodDetails methodDetails = methods.get(methodId);
-            if (methodDetails == null) {
-                Class<?> declaringClass = readType();
-                String methodName = decoder.readString();
-                int paramCount = decoder.readSmallInt();
-                Class<?>[] paramTypes = new Class<?>[paramCount];
-                for (int i = 0; i < paramTypes.length; i++) {
-                    paramTypes[i] = readType();
-                }
-                Method method = declaringClass.getDeclaredMethod(methodName, paramTypes);
-                methodDetails = new MethodDetails(methodId, method, methodArgsSerializer.forTypes(method.getParameterTypes()));
-                methods.put(methodId, methodDetails);
+            if (methodId < methods.size()) {
+                return methods.get(methodId);
+            }
+            Class<?> declaringClass = readType();
+            String methodName = decoder.readString();
+            int paramCount = decoder.readSmallInt();
+            Class<?>[] paramTypes = new Class<?>[paramCount];
+            for (int i = 0; i < paramTypes.length; i++) {
+                paramTypes[i] = readType();
             }
+            Method method = declaringClass.getDeclaredMethod(methodName, paramTypes);
+            MethodDetails methodDetails = new MethodDetails(methodId, method, methodArgsSerializer.forTypes(method.getParameterTypes()));
+            methods.add(methodDetails);
             return methodDetails;
         }
 
@@ -32,6 +32,7 @@
 import org.gradle.initialization.JdkToolsInitializer;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.StreamHasher;
+import org.gradle.internal.nativeintegration.filesystem.FileSystem;
 import org.gradle.internal.operations.BuildOperationExecutor;
 import org.gradle.internal.service.ServiceRegistration;
 import org.gradle.internal.service.scopes.AbstractPluginServiceRegistry;
@@ -63,9 +64,9 @@ CachingClassDependenciesAnalyzer createClassAnalyzer(StringInterner interner, Ge
         }
 
         CachingClassSetAnalyzer createClassSetAnalyzer(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer classAnalyzer,
-                                                       FileOperations fileOperations, FileSystemAccess fileSystemAccess, GeneralCompileCaches cache) {
+                                                       FileOperations fileOperations, FileSystem fileSystem, FileSystemAccess fileSystemAccess, GeneralCompileCaches cache) {
             return new CachingClassSetAnalyzer(
-                new DefaultClassSetAnalyzer(fileHasher, streamHasher, classAnalyzer, fileOperations),
+                new DefaultClassSetAnalyzer(fileHasher, streamHasher, classAnalyzer, fileOperations, fileSystem),
                 fileSystemAccess,
                 cache.getClassSetAnalysisCache()
             );
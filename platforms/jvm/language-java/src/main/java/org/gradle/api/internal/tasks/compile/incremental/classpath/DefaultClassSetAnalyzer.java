@@ -16,21 +16,30 @@
 package org.gradle.api.internal.tasks.compile.incremental.classpath;
 
 import com.google.common.collect.ImmutableSet;
+import org.gradle.api.UncheckedIOException;
+import org.gradle.api.file.FilePermissions;
+import org.gradle.api.file.FileTreeElement;
 import org.gradle.api.file.FileVisitDetails;
 import org.gradle.api.file.FileVisitor;
+import org.gradle.api.file.RelativePath;
+import org.gradle.api.internal.file.AbstractFileTreeElement;
 import org.gradle.api.internal.file.FileOperations;
 import org.gradle.api.internal.tasks.compile.incremental.analyzer.ClassDependenciesAnalyzer;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassAnalysis;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassDependentsAccumulator;
 import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData;
 import org.gradle.internal.IoActions;
+import org.gradle.internal.file.Chmod;
 import org.gradle.internal.hash.FileHasher;
 import org.gradle.internal.hash.HashCode;
 import org.gradle.internal.hash.StreamHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 
 import static org.gradle.internal.FileUtils.hasExtension;
@@ -42,12 +51,14 @@ public class DefaultClassSetAnalyzer implements ClassSetAnalyzer {
     private final StreamHasher hasher;
     private final ClassDependenciesAnalyzer analyzer;
     private final FileOperations fileOperations;
+    private final Chmod chmod;
 
-    public DefaultClassSetAnalyzer(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer analyzer, FileOperations fileOperations) {
+    public DefaultClassSetAnalyzer(FileHasher fileHasher, StreamHasher streamHasher, ClassDependenciesAnalyzer analyzer, FileOperations fileOperations, Chmod chmod) {
         this.fileHasher = fileHasher;
         this.hasher = streamHasher;
         this.analyzer = analyzer;
         this.fileOperations = fileOperations;
+        this.chmod = chmod;
     }
 
     @Override
@@ -103,9 +114,10 @@ public void visitFile(FileVisitDetails fileDetails) {
             }
 
             HashCode classFileHash = getHashCode(fileDetails);
+            FileTreeElement classFile = getClassFile(fileDetails);
 
             try {
-                ClassAnalysis analysis = maybeStripToAbi(analyzer.getClassAnalysis(classFileHash, fileDetails));
+                ClassAnalysis analysis = maybeStripToAbi(analyzer.getClassAnalysis(classFileHash, classFile));
                 accumulator.addClass(analysis, classFileHash);
             } catch (Exception e) {
                 accumulator.fullRebuildNeeded(fileDetails.getName() + " could not be analyzed for incremental compilation. See the debug log for more details");
@@ -124,9 +136,18 @@ private ClassAnalysis maybeStripToAbi(ClassAnalysis analysis) {
         }
 
         protected abstract HashCode getHashCode(FileVisitDetails fileDetails);
+
+        protected FileTreeElement getClassFile(FileVisitDetails fileDetails) {
+            return fileDetails;
+        }
     }
 
+    /**
+     * Hashes each entry while copying it into a buffer that is reused for all entries of the jar.
+     * When the class analysis is not cached yet, it is read from that buffer, so the entry is only decompressed once.
+     */
     private class JarEntryVisitor extends EntryVisitor {
+        private final EntryBuffer buffer = new EntryBuffer();
 
         public JarEntryVisitor(ClassDependentsAccumulator accumulator, boolean abiOnly) {
             super(accumulator, abiOnly);
@@ -134,13 +155,21 @@ public JarEntryVisitor(ClassDependentsAccumulator accumulator, boolean abiOnly)
 
         @Override
         protected HashCode getHashCode(FileVisitDetails fileDetails) {
+            buffer.reset();
             InputStream inputStream = fileDetails.open();
             try {
-                return hasher.hash(inputStream);
+                return hasher.hashCopy(inputStream, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             } finally {
                 IoActions.closeQuietly(inputStream);
             }
         }
+
+        @Override
+        protected FileTreeElement getClassFile(FileVisitDetails fileDetails) {
+            return new BufferedEntry(fileDetails, buffer, chmod);
+        }
     }
 
     private class DirectoryEntryVisitor extends EntryVisitor {
@@ -155,4 +184,60 @@ protected HashCode getHashCode(FileVisitDetails fileDetails) {
         }
     }
 
+    private static class EntryBuffer extends ByteArrayOutputStream {
+        InputStream open() {
+            return new ByteArrayInputStream(buf, 0, count);
+        }
+    }
+
+    private static class BufferedEntry extends AbstractFileTreeElement {
+        private final FileVisitDetails entry;
+        private final EntryBuffer content;
+
+        BufferedEntry(FileVisitDetails entry, EntryBuffer content, Chmod chmod) {
+            super(chmod);
+            this.entry = entry;
+            this.content = content;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return entry.toString();
+        }
+
+        @Override
+        public File getFile() {
+            return entry.getFile();
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return false;
+        }
+
+        @Override
+        public long getLastModified() {
+            return entry.getLastModified();
+        }
+
+        @Override
+        public long getSize() {
+            return content.size();
+        }
+
+        @Override
+        public InputStream open() {
+            return content.open();
+        }
+
+        @Override
+        public RelativePath getRelativePath() {
+            return entry.getRelativePath();
+        }
+
+        @Override
+        public FilePermissions getPermissions() {
+            return entry.getPermissions();
+        }
+    }
 }
@@ -25,10 +25,7 @@
 import javax.tools.JavaFileManager;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.Collections;
-import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import static org.gradle.api.internal.tasks.compile.incremental.processing.IncrementalAnnotationProcessorType.AGGREGATING;
 
@@ -59,25 +56,26 @@ private void validateAnnotations(Set<? extends TypeElement> annotations) {
     }
 
     private void recordAggregatedTypes(Set<String> supportedAnnotationTypes, Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<String> aggregatedTypes = result.getAggregatedTypes();
         if (supportedAnnotationTypes.contains("*")) {
-            result.getAggregatedTypes().addAll(namesOfElements(roundEnv.getRootElements()));
+            addNamesOfElements(roundEnv.getRootElements(), aggregatedTypes);
         } else {
             for (TypeElement annotation : annotations) {
-                result.getAggregatedTypes().addAll(namesOfElements(roundEnv.getElementsAnnotatedWith(annotation)));
+                addNamesOfElements(roundEnv.getElementsAnnotatedWith(annotation), aggregatedTypes);
             }
         }
     }
 
-    private static Set<String> namesOfElements(Set<? extends Element> orig) {
-        if (orig == null || orig.isEmpty()) {
-            return Collections.emptySet();
+    private static void addNamesOfElements(Set<? extends Element> elements, Set<String> names) {
+        if (elements == null) {
+            return;
+        }
+        for (Element element : elements) {
+            String name = ElementUtils.getElementName(ElementUtils.getTopLevelType(element));
+            if (name != null) {
+                names.add(name);
+            }
         }
-        return orig
-            .stream()
-            .map(ElementUtils::getTopLevelType)
-            .map(ElementUtils::getElementName)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toSet());
     }
 
     @Override
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile.incremental.classpath
+
+import org.gradle.api.file.FileTree
+import org.gradle.api.file.FileVisitDetails
+import org.gradle.api.file.FileVisitor
+import org.gradle.api.internal.cache.StringInterner
+import org.gradle.api.internal.file.FileOperations
+import org.gradle.api.internal.file.TestFiles
+import org.gradle.api.internal.tasks.compile.incremental.analyzer.DefaultClassDependenciesAnalyzer
+import org.gradle.api.internal.tasks.compile.incremental.deps.ClassSetAnalysisData
+import org.gradle.api.internal.tasks.compile.incremental.test.AccessedFromPackagePrivateField
+import org.gradle.api.internal.tasks.compile.incremental.test.SomeClass
+import org.gradle.api.internal.tasks.compile.incremental.test.SomeOtherClass
+import org.gradle.api.internal.tasks.compile.incremental.test.YetAnotherClass
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.lang.reflect.InvocationHandler
+import java.lang.reflect.Method
+import java.lang.reflect.Proxy
+
+class DefaultClassSetAnalyzerTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider(getClass())
+
+    def classes = [SomeClass, SomeOtherClass, YetAnotherClass, AccessedFromPackagePrivateField]
+    def fileOperations = TestFiles.fileOperations(tmpDir.testDirectory)
+    def openedEntries = [:].withDefault { 0 }
+
+    def "opens each class entry of a jar once and finds the same dependents as for a classes directory"() {
+        given:
+        def classesDir = tmpDir.createDir("classes")
+        classes.each { writeClassFile(classesDir, it) }
+        def jar = tmpDir.file("classes.jar")
+        classesDir.zipTo(jar)
+        def countingFileOperations = Stub(FileOperations) {
+            zipTreeNoLocking(_) >> { Object file -> countingOpens(fileOperations.zipTreeNoLocking(file)) }
+        }
+
+        when:
+        def jarAnalysis = analyzer(countingFileOperations).analyzeClasspathEntry(jar)
+        def directoryAnalysis = analyzer(fileOperations).analyzeClasspathEntry(classesDir)
+
+        then:
+        openedEntries.keySet() == classes.collect { classFilePath(it) } as Set
+        openedEntries.values().every { it == 1 }
+
+        and:
+        jarAnalysis.getChangedClassesSince(directoryAnalysis).isEmpty()
+        directoryAnalysis.getChangedClassesSince(jarAnalysis).isEmpty()
+        classes.each {
+            assert dependentsOf(jarAnalysis, it) == dependentsOf(directoryAnalysis, it)
+        }
+        dependentsOf(jarAnalysis, SomeClass) == [SomeOtherClass.name] as Set
+        dependentsOf(jarAnalysis, AccessedFromPackagePrivateField) == [SomeClass.name] as Set
+    }
+
+    private DefaultClassSetAnalyzer analyzer(FileOperations fileOperations) {
+        new DefaultClassSetAnalyzer(TestFiles.fileHasher(), TestFiles.streamHasher(), new DefaultClassDependenciesAnalyzer(new StringInterner()), fileOperations, TestFiles.fileSystem())
+    }
+
+    private static Set<String> dependentsOf(ClassSetAnalysisData analysis, Class<?> aClass) {
+        analysis.getDependents(aClass.name).allDependentClasses
+    }
+
+    private static String classFilePath(Class<?> aClass) {
+        aClass.name.replace(".", "/") + ".class"
+    }
+
+    private static void writeClassFile(TestFile classesDir, Class<?> aClass) {
+        classesDir.file(classFilePath(aClass)).createFile().bytes = aClass.classLoader.getResourceAsStream(classFilePath(aClass)).bytes
+    }
+
+    private FileTree countingOpens(FileTree tree) {
+        Stub(FileTree) {
+            visit(_ as FileVisitor) >> { FileVisitor visitor ->
+                tree.visit(new FileVisitor() {
+                    @Override
+                    void visitDir(FileVisitDetails dirDetails) {
+                        visitor.visitDir(dirDetails)
+                    }
+
+                    @Override
+                    void visitFile(FileVisitDetails fileDetails) {
+                        visitor.visitFile(countingOpens(fileDetails))
+                    }
+                })
+            }
+        }
+    }
+
+    private FileVisitDetails countingOpens(FileVisitDetails details) {
+        (FileVisitDetails) Proxy.newProxyInstance(getClass().classLoader, [FileVisitDetails] as Class[], new InvocationHandler() {
+            @Override
+            Object invoke(Object proxy, Method method, Object[] args) {
+                if (method.name == "open") {
+                    openedEntries[details.path]++
+                }
+                method.invoke(details, args)
+            }
+        })
+    }
+}
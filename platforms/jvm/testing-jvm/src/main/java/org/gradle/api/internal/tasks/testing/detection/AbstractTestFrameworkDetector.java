@@ -46,7 +46,7 @@
 
     private List<File> testClassDirectories;
     private final ClassFileExtractionManager classFileExtractionManager;
-    private final Map<File, Boolean> superClasses;
+    private final Map<String, Boolean> superClasses;
     private TestClassProcessor testClassProcessor;
 
     private List<File> testClassesDirectories;
@@ -55,7 +55,7 @@
     protected AbstractTestFrameworkDetector(ClassFileExtractionManager classFileExtractionManager) {
         assert classFileExtractionManager != null;
         this.classFileExtractionManager = classFileExtractionManager;
-        this.superClasses = new HashMap<File, Boolean>();
+        this.superClasses = new HashMap<String, Boolean>();
     }
 
     protected abstract T createClassVisitor();
@@ -159,14 +159,7 @@ private boolean processTestClass(File testClassFile, boolean superClass, Factory
             if (isKnownTestCaseClassName(superClassName)) {
                 isTest = true;
             } else {
-                File superClassFile = getSuperTestClassFile(superClassName);
-
-                if (superClassFile != null) {
-                    isTest = processSuperClass(superClassFile, superClassName);
-                } else {
-                    LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
-                        superClassName);
-                }
+                isTest = processSuperClass(superClassName);
             }
         }
 
@@ -177,20 +170,27 @@ private boolean processTestClass(File testClassFile, boolean superClass, Factory
 
     protected abstract boolean isKnownTestCaseClassName(String testCaseClassName);
 
-    private boolean processSuperClass(File testClassFile, String superClassName) {
-        boolean isTest;
-
-        Boolean isSuperTest = superClasses.get(testClassFile);
+    /**
+     * Results are cached by super class name, so that classes sharing a parent do not look up its class file in every test class directory and library jar again.
+     */
+    private boolean processSuperClass(String superClassName) {
+        Boolean isSuperTest = superClasses.get(superClassName);
 
         if (isSuperTest == null) {
-            isTest = processTestClass(testClassFile, true, Factories.constant(superClassName));
+            File superClassFile = getSuperTestClassFile(superClassName);
 
-            superClasses.put(testClassFile, isTest);
-        } else {
-            isTest = isSuperTest;
+            if (superClassFile != null) {
+                isSuperTest = processTestClass(superClassFile, true, Factories.constant(superClassName));
+            } else {
+                LOGGER.debug("test-class-scan : failed to scan parent class {}, could not find the class file",
+                    superClassName);
+                isSuperTest = false;
+            }
+
+            superClasses.put(superClassName, isSuperTest);
         }
 
-        return isTest;
+        return isSuperTest;
     }
 
     /**
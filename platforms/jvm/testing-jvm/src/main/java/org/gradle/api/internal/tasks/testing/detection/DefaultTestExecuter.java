@@ -43,6 +43,8 @@
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * The default test class scanner factory.
@@ -99,10 +101,13 @@ public TestClassProcessor create() {
                 return new RestartEveryNTestClassProcessor(forkingProcessorFactory, testExecutionSpec.getForkEvery());
             }
         };
+        int maxParallelForks = getMaxParallelForks(testExecutionSpec);
+        // Previous durations only matter when balancing test classes across several forks
+        Map<String, Long> previousDurations = maxParallelForks > 1 ? testExecutionSpec.getPreviousTestClassDurations() : Collections.<String, Long>emptyMap();
         processor =
             new PatternMatchTestClassProcessor(testFilter,
-                new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(),
-                    new MaxNParallelTestClassProcessor(getMaxParallelForks(testExecutionSpec), reforkingProcessorFactory, actorFactory)));
+                new RunPreviousFailedFirstTestClassProcessor(testExecutionSpec.getPreviousFailedTestClasses(), previousDurations,
+                    new MaxNParallelTestClassProcessor(maxParallelForks, reforkingProcessorFactory, actorFactory, previousDurations)));
 
         final FileTree testClassFiles = testExecutionSpec.getCandidateClassFiles();
 
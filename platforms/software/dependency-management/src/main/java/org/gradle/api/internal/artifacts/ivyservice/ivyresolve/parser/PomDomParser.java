@@ -21,17 +21,28 @@
 import org.w3c.dom.NodeList;
 
 import java.io.*;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public final class PomDomParser {
     private PomDomParser() {}
 
     public static String getTextContent(Element element) {
-        StringBuilder result = new StringBuilder();
-
         NodeList childNodes = element.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++) {
+        int length = childNodes.getLength();
+        if (length == 0) {
+            return "";
+        }
+        if (length == 1) {
+            // Most POM elements hold a single text node, so avoid copying it through a builder
+            Node child = childNodes.item(0);
+            short nodeType = child.getNodeType();
+            return nodeType == Node.TEXT_NODE || nodeType == Node.CDATA_SECTION_NODE ? child.getNodeValue() : "";
+        }
+
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < length; i++) {
             Node child = childNodes.item(i);
 
             switch (child.getNodeType()) {
@@ -71,14 +82,15 @@ public static Element getFirstChildElement(Element parentElem, String name) {
     }
 
     public static List<Element> getAllChilds(Element parent) {
-        List<Element> r = new LinkedList<>();
-        if (parent != null) {
-            NodeList childs = parent.getChildNodes();
-            for (int i = 0; i < childs.getLength(); i++) {
-                Node node = childs.item(i);
-                if (node instanceof Element) {
-                    r.add((Element) node);
-                }
+        if (parent == null) {
+            return Collections.emptyList();
+        }
+        NodeList childs = parent.getChildNodes();
+        List<Element> r = new ArrayList<>(childs.getLength());
+        for (int i = 0; i < childs.getLength(); i++) {
+            Node node = childs.item(i);
+            if (node instanceof Element) {
+                r.add((Element) node);
             }
         }
         return r;
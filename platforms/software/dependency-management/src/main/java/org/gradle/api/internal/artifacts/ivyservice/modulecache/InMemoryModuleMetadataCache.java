@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.artifacts.ivyservice.modulecache;
 
+import org.gradle.cache.internal.ProducerGuard;
 import org.gradle.util.internal.BuildCommencedTimeProvider;
 
 import java.util.Map;
@@ -22,6 +23,7 @@
 
 public class InMemoryModuleMetadataCache extends AbstractModuleMetadataCache {
     private final Map<ModuleComponentAtRepositoryKey, CachedMetadata> inMemoryCache = new ConcurrentHashMap<>();
+    private final ProducerGuard<ModuleComponentAtRepositoryKey> loadGuard = ProducerGuard.adaptive();
     private final AbstractModuleMetadataCache delegate;
 
     public InMemoryModuleMetadataCache(BuildCommencedTimeProvider timeProvider) {
@@ -38,10 +40,17 @@ public InMemoryModuleMetadataCache(BuildCommencedTimeProvider timeProvider, Abst
     protected CachedMetadata get(ModuleComponentAtRepositoryKey key) {
         CachedMetadata metadata = inMemoryCache.get(key);
         if (metadata == null && delegate != null) {
-            metadata = delegate.get(key);
-            if (metadata != null) {
-                inMemoryCache.put(key, metadata);
-            }
+            // Configurations resolved concurrently often need the same modules, so make sure each one is read and decoded only once
+            metadata = loadGuard.guardByKey(key, () -> {
+                CachedMetadata loaded = inMemoryCache.get(key);
+                if (loaded == null) {
+                    loaded = delegate.get(key);
+                    if (loaded != null) {
+                        inMemoryCache.put(key, loaded);
+                    }
+                }
+                return loaded;
+            });
         }
         return metadata;
     }
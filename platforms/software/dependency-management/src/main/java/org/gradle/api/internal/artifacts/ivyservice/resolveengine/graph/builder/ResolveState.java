@@ -184,6 +184,14 @@ public ModuleResolveState getModule(ModuleIdentifier id) {
         return getModule(id, false);
     }
 
+    /**
+     * Returns the module with the given id, if it has already been seen in the graph. Does not create the module.
+     */
+    @Nullable
+    public ModuleResolveState findModule(ModuleIdentifier id) {
+        return modules.get(id);
+    }
+
     public ComponentMetaDataResolver getComponentMetadataResolver() {
         return metaDataResolver;
     }
@@ -139,7 +139,8 @@ public void startFinalization(BuildOperationQueue<RunnableBuildOperation> action
 
         @Override
         public BuildOperationDescriptor.Builder description() {
-            return BuildOperationDescriptor.displayName("Execute transform");
+            // Name the artifact so the time spent in each chain can be attributed
+            return BuildOperationDescriptor.displayName("Execute transform of " + artifact.getId().getDisplayName());
         }
 
         @Override
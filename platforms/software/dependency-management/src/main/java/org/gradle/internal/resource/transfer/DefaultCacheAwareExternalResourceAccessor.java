@@ -94,6 +94,12 @@ public LocallyAvailableExternalResource getResource(final ExternalResourceName l
             // We have a cached version, but it might be out of date, so we tell the upstreams to revalidate too
             final boolean revalidate = true;
 
+            // Without validators on the cached copy and without local candidates, asking for the metadata first cannot save the download
+            if (cached != null && !ExternalResourceMetaDataCompare.canBeRevalidated(cached.getExternalResourceMetaData())
+                && (additionalCandidates == null || additionalCandidates.isNone())) {
+                return copyToCache(location, fileStore, delegate.withProgressLogging().resource(location, revalidate));
+            }
+
             // Get the metadata first to see if it's there
             final ExternalResourceMetaData remoteMetaData = delegate.resource(location, revalidate).getMetaData();
             if (remoteMetaData == null) {
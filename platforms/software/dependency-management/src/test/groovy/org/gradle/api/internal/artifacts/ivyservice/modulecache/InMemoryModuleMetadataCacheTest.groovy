@@ -0,0 +1,100 @@
+/*
+ * Copyright 2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.artifacts.ivyservice.modulecache
+
+import org.gradle.test.fixtures.concurrent.ConcurrentSpec
+import org.gradle.util.internal.BuildCommencedTimeProvider
+import spock.lang.Subject
+
+import java.util.concurrent.CopyOnWriteArrayList
+
+class InMemoryModuleMetadataCacheTest extends ConcurrentSpec {
+    def timeProvider = Stub(BuildCommencedTimeProvider)
+    def delegate = Mock(AbstractModuleMetadataCache)
+    def key = Stub(ModuleComponentAtRepositoryKey)
+    def otherKey = Stub(ModuleComponentAtRepositoryKey)
+    def metadata = Stub(ModuleMetadataCache.CachedMetadata)
+    def otherMetadata = Stub(ModuleMetadataCache.CachedMetadata)
+
+    @Subject
+    def cache = new InMemoryModuleMetadataCache(timeProvider, delegate)
+
+    def "concurrent reads of the same module load it from the delegate once"() {
+        def results = new CopyOnWriteArrayList<ModuleMetadataCache.CachedMetadata>()
+
+        when:
+        async {
+            start {
+                results << cache.get(key)
+            }
+            3.times {
+                start {
+                    thread.blockUntil.loading
+                    results << cache.get(key)
+                }
+            }
+        }
+
+        then:
+        1 * delegate.get(key) >> {
+            instant.loading
+            thread.block()
+            metadata
+        }
+        0 * delegate._
+
+        and:
+        results.size() == 4
+        results.every { it.is(metadata) }
+
+        when:
+        def cached = cache.get(key)
+
+        then:
+        cached.is(metadata)
+        0 * delegate._
+    }
+
+    def "reads of different modules do not wait for each other"() {
+        def result
+        def otherResult
+
+        when:
+        async {
+            start {
+                result = cache.get(key)
+            }
+            start {
+                otherResult = cache.get(otherKey)
+            }
+        }
+
+        then:
+        1 * delegate.get(key) >> {
+            thread.blockUntil.otherLoaded
+            metadata
+        }
+        1 * delegate.get(otherKey) >> {
+            instant.otherLoaded
+            otherMetadata
+        }
+
+        and:
+        result.is(metadata)
+        otherResult.is(otherMetadata)
+    }
+}
@@ -249,6 +249,43 @@ class DefaultCacheAwareExternalResourceAccessorTest extends Specification {
         0 * _._
     }
 
+    def "downloads resource without requesting meta-data first when cached resource has no validators"() {
+        given:
+        def fileStore = Mock(CacheAwareExternalResourceAccessor.ResourceFileStore)
+        def cachedMetaData = Stub(ExternalResourceMetaData)
+        def remoteMetaData = Mock(ExternalResourceMetaData)
+        def remoteResource = Mock(ExternalResource)
+        def location = new ExternalResourceName("thing")
+        def localResource = new DefaultLocallyAvailableResource(cachedFile, TestUtil.checksumService)
+        def resultResource = Stub(LocallyAvailableExternalResource)
+
+        when:
+        def result = cache.getResource(location, null, fileStore, null)
+
+        then:
+        result == resultResource
+
+        and:
+        1 * index.lookup("thing") >> Stub(CachedExternalResource) {
+            getCachedAt() >> 23999L
+            getExternalResourceMetaData() >> cachedMetaData
+            getCachedFile() >> cachedFile
+        }
+        timeProvider.currentTime >> 24000L
+        1 * repository.withProgressLogging() >> progressLoggingRepo
+        1 * progressLoggingRepo.resource(location, true) >> remoteResource
+        1 * remoteResource.withContentIfPresent(_) >> { ExternalResource.ContentAndMetadataAction a ->
+            a.execute(new ByteArrayInputStream(), remoteMetaData)
+        }
+        0 * _._
+
+        and:
+        1 * fileStore.moveIntoCache(tempFile) >> localResource
+        1 * index.store("thing", cachedFile, remoteMetaData)
+        1 * fileRepository.resource(cachedFile, location.uri, remoteMetaData) >> resultResource
+        0 * _._
+    }
+
     def "will download sha1 for finding candidates if not available in meta-data"() {
         given:
         def localCandidates = Mock(LocallyAvailableResourceCandidates)
@@ -23,21 +23,13 @@
 
 public abstract class ExternalResourceMetaDataCompare {
     public static boolean isDefinitelyUnchanged(@Nullable ExternalResourceMetaData local, Factory<ExternalResourceMetaData> remoteFactory) {
-        if (local == null) {
+        if (!canBeRevalidated(local)) {
             return false;
         }
 
         String localEtag = local.getEtag();
-
         Date localLastModified = local.getLastModified();
-        if (localEtag == null && localLastModified == null) {
-            return false;
-        }
-
         long localContentLength = local.getContentLength();
-        if (localEtag == null && localContentLength < 1) {
-            return false;
-        }
 
         // We have enough local data to make a comparison, get the remote metadata
         ExternalResourceMetaData remote = remoteFactory.create();
@@ -63,4 +55,18 @@ public static boolean isDefinitelyUnchanged(@Nullable ExternalResourceMetaData l
 
         return localContentLength == remoteContentLength && remoteLastModified.equals(localLastModified);
     }
+
+    /**
+     * Returns true when the given meta-data carries enough validators (an ETag, or a last modified date and content length)
+     * for {@link #isDefinitelyUnchanged(ExternalResourceMetaData, Factory)} to ever report the resource as unchanged.
+     */
+    public static boolean canBeRevalidated(@Nullable ExternalResourceMetaData local) {
+        if (local == null) {
+            return false;
+        }
+        if (local.getEtag() != null) {
+            return true;
+        }
+        return local.getLastModified() != null && local.getContentLength() >= 1;
+    }
 }
@@ -44,6 +44,10 @@ public class TestOutputStore {
     private final File resultsDir;
     private final Charset messageStorageCharset;
 
+    // Report generation opens one reader per worker thread, so the index is read once and shared between them
+    private Index sharedIndex;
+    private boolean sharedIndexLoaded;
+
     public TestOutputStore(File resultsDir) {
         this.resultsDir = resultsDir;
         this.messageStorageCharset = Charset.forName("UTF-8");
@@ -83,6 +87,7 @@ public class Writer implements Closeable {
         private final Map<Long, Map<Long, TestCaseRegion>> index = new LinkedHashMap<Long, Map<Long, TestCaseRegion>>();
 
         public Writer() {
+            discardIndex();
             try {
                 output = new KryoBackedEncoder(new FileOutputStream(getOutputsFile()));
             } catch (FileNotFoundException e) {
@@ -94,6 +99,7 @@ public Writer() {
         public void close() {
             output.close();
             writeIndex();
+            discardIndex();
         }
 
         public void onOutput(long classId, TestOutputEvent outputEvent) {
@@ -230,57 +236,14 @@ public class Reader implements Closeable {
         private final RandomAccessFile dataFile;
 
         public Reader() {
-            File indexFile = getIndexFile();
-            File outputsFile = getOutputsFile();
-
-            if (outputsFile.exists()) {
-                if (!indexFile.exists()) {
-                    throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
-                }
-
-                Input input;
-                try {
-                    input = new Input(new FileInputStream(indexFile));
-                } catch (FileNotFoundException e) {
-                    throw new UncheckedIOException(e);
-                }
-
-                IndexBuilder rootBuilder = null;
-                try {
-                    int numClasses = input.readInt(true);
-                    rootBuilder = new IndexBuilder();
-
-                    for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
-                        long classId = input.readLong(true);
-                        IndexBuilder classBuilder = new IndexBuilder();
-
-                        int numEntries = input.readInt(true);
-                        for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
-                            long testId = input.readLong(true);
-                            Region stdOut = new Region(input.readLong(), input.readLong());
-                            Region stdErr = new Region(input.readLong(), input.readLong());
-                            classBuilder.add(testId, new Index(stdOut, stdErr));
-                        }
-
-                        rootBuilder.add(classId, classBuilder.build());
-                    }
-                } finally {
-                    input.close();
-                }
-
-                index = rootBuilder.build();
-
+            index = getOrLoadIndex();
+            if (index != null) {
                 try {
                     dataFile = new RandomAccessFile(getOutputsFile(), "r");
                 } catch (FileNotFoundException e) {
                     throw new UncheckedIOException(e);
                 }
-            } else { // no outputs file
-                if (indexFile.exists()) {
-                    throw new IllegalStateException(String.format("Test outputs data file '%s' does not exist but the index file '%s' does", outputsFile, indexFile));
-                }
-
-                index = null;
+            } else {
                 dataFile = null;
             }
         }
@@ -400,6 +363,67 @@ private Index getIndex(long classId, long testId) {
         }
     }
 
+    @Nullable
+    private synchronized Index getOrLoadIndex() {
+        if (!sharedIndexLoaded) {
+            sharedIndex = loadIndex();
+            sharedIndexLoaded = true;
+        }
+        return sharedIndex;
+    }
+
+    private synchronized void discardIndex() {
+        sharedIndex = null;
+        sharedIndexLoaded = false;
+    }
+
+    @Nullable
+    private Index loadIndex() {
+        File indexFile = getIndexFile();
+        File outputsFile = getOutputsFile();
+
+        if (!outputsFile.exists()) {
+            if (indexFile.exists()) {
+                throw new IllegalStateException(String.format("Test outputs data file '%s' does not exist but the index file '%s' does", outputsFile, indexFile));
+            }
+            return null;
+        }
+
+        if (!indexFile.exists()) {
+            throw new IllegalStateException(String.format("Test outputs data file '%s' exists but the index file '%s' does not", outputsFile, indexFile));
+        }
+
+        Input input;
+        try {
+            input = new Input(new FileInputStream(indexFile));
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            int numClasses = input.readInt(true);
+            IndexBuilder rootBuilder = new IndexBuilder();
+
+            for (int classCounter = 0; classCounter < numClasses; ++classCounter) {
+                long classId = input.readLong(true);
+                IndexBuilder classBuilder = new IndexBuilder();
+
+                int numEntries = input.readInt(true);
+                for (int entryCounter = 0; entryCounter < numEntries; ++entryCounter) {
+                    long testId = input.readLong(true);
+                    Region stdOut = new Region(input.readLong(), input.readLong());
+                    Region stdErr = new Region(input.readLong(), input.readLong());
+                    classBuilder.add(testId, new Index(stdOut, stdErr));
+                }
+
+                rootBuilder.add(classId, classBuilder.build());
+            }
+            return rootBuilder.build();
+        } finally {
+            input.close();
+        }
+    }
+
     // IMPORTANT: return must be closed when done with.
     public Reader reader() {
         return new Reader();
@@ -27,16 +27,20 @@
 import org.gradle.internal.dispatch.DispatchException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Manages a set of parallel TestClassProcessors. Uses a simple round-robin algorithm to assign test classes to
- * processors.
+ * Manages a set of parallel TestClassProcessors. Test classes with a known duration from a previous run are assigned to
+ * the processor with the least estimated work, other test classes are assigned using a simple round-robin algorithm.
  */
 public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private final int maxProcessors;
     private final Factory<TestClassProcessor> factory;
     private final ActorFactory actorFactory;
+    private final Map<String, Long> previousDurations;
+    private final long[] estimatedDurations;
     private TestResultProcessor resultProcessor;
     private int pos;
     private List<TestClassProcessor> processors = new ArrayList<TestClassProcessor>();
@@ -46,9 +50,15 @@ public class MaxNParallelTestClassProcessor implements TestClassProcessor {
     private volatile boolean stoppedNow;
 
     public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory) {
+        this(maxProcessors, factory, actorFactory, Collections.<String, Long>emptyMap());
+    }
+
+    public MaxNParallelTestClassProcessor(int maxProcessors, Factory<TestClassProcessor> factory, ActorFactory actorFactory, Map<String, Long> previousDurations) {
         this.maxProcessors = maxProcessors;
         this.factory = factory;
         this.actorFactory = actorFactory;
+        this.previousDurations = previousDurations;
+        this.estimatedDurations = new long[maxProcessors];
     }
 
     @Override
@@ -64,20 +74,37 @@ public void processTestClass(TestClassRunInfo testClass) {
             return;
         }
 
-        TestClassProcessor processor;
+        Long previousDuration = previousDurations.get(testClass.getTestClassName());
+        int index;
         if (processors.size() < maxProcessors) {
-            processor = factory.create();
+            TestClassProcessor processor = factory.create();
             rawProcessors.add(processor);
             Actor actor = actorFactory.createActor(processor);
             processor = actor.getProxy(TestClassProcessor.class);
             actors.add(actor);
             processors.add(processor);
             processor.startProcessing(resultProcessor);
+            index = processors.size() - 1;
+        } else if (previousDuration != null) {
+            index = leastLoadedProcessor();
         } else {
-            processor = processors.get(pos);
+            index = pos;
             pos = (pos + 1) % processors.size();
         }
-        processor.processTestClass(testClass);
+        if (previousDuration != null) {
+            estimatedDurations[index] += previousDuration;
+        }
+        processors.get(index).processTestClass(testClass);
+    }
+
+    private int leastLoadedProcessor() {
+        int index = 0;
+        for (int i = 1; i < processors.size(); i++) {
+            if (estimatedDurations[i] < estimatedDurations[index]) {
+                index = i;
+            }
+        }
+        return index;
     }
 
     @Override
@@ -20,21 +20,36 @@
 import org.gradle.api.internal.tasks.testing.TestClassRunInfo;
 import org.gradle.api.internal.tasks.testing.TestResultProcessor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * In order to speed up the development feedback cycle, this class guarantee previous failed test classes
  * to be passed to its delegate first.
+ *
+ * When durations from a previous run are available, the remaining test classes are passed longest first, so that
+ * the delegate can balance them across parallel processors. Test classes without a previous duration follow in
+ * the order they were found.
  */
 public class RunPreviousFailedFirstTestClassProcessor implements TestClassProcessor {
     private final Set<String> previousFailedTestClasses;
+    private final Map<String, Long> previousDurations;
     private final TestClassProcessor delegate;
     private final LinkedHashSet<TestClassRunInfo> prioritizedTestClasses = new LinkedHashSet<TestClassRunInfo>();
     private final LinkedHashSet<TestClassRunInfo> otherTestClasses = new LinkedHashSet<TestClassRunInfo>();
 
     public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, TestClassProcessor delegate) {
+        this(previousFailedTestClasses, Collections.<String, Long>emptyMap(), delegate);
+    }
+
+    public RunPreviousFailedFirstTestClassProcessor(Set<String> previousFailedTestClasses, Map<String, Long> previousDurations, TestClassProcessor delegate) {
         this.previousFailedTestClasses = previousFailedTestClasses;
+        this.previousDurations = previousDurations;
         this.delegate = delegate;
     }
 
@@ -57,12 +72,34 @@ public void stop() {
         for (TestClassRunInfo test : prioritizedTestClasses) {
             delegate.processTestClass(test);
         }
-        for (TestClassRunInfo test : otherTestClasses) {
+        for (TestClassRunInfo test : longestFirst(otherTestClasses)) {
             delegate.processTestClass(test);
         }
         delegate.stop();
     }
 
+    private Iterable<TestClassRunInfo> longestFirst(Set<TestClassRunInfo> testClasses) {
+        if (previousDurations.isEmpty()) {
+            return testClasses;
+        }
+        List<TestClassRunInfo> sorted = new ArrayList<TestClassRunInfo>(testClasses);
+        // The sort is stable, so test classes without a previous duration keep their relative order
+        Collections.sort(sorted, new Comparator<TestClassRunInfo>() {
+            @Override
+            public int compare(TestClassRunInfo left, TestClassRunInfo right) {
+                long leftDuration = previousDurationOf(left);
+                long rightDuration = previousDurationOf(right);
+                return leftDuration > rightDuration ? -1 : leftDuration == rightDuration ? 0 : 1;
+            }
+        });
+        return sorted;
+    }
+
+    private long previousDurationOf(TestClassRunInfo testClass) {
+        Long duration = previousDurations.get(testClass.getTestClassName());
+        return duration == null ? -1 : duration;
+    }
+
     @Override
     public void stopNow() {
         delegate.stopNow();
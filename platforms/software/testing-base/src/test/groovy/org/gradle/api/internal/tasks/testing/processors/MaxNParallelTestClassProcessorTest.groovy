@@ -168,6 +168,34 @@ class MaxNParallelTestClassProcessorTest extends Specification {
         1 * asyncProcessor2.processTestClass(test)
     }
 
+    def assignsTestClassesWithPreviousDurationToLeastLoadedProcessor() {
+        TestClassRunInfo slow = Stub() { getTestClassName() >> "Slow" }
+        TestClassRunInfo medium = Stub() { getTestClassName() >> "Medium" }
+        TestClassRunInfo fast = Stub() { getTestClassName() >> "Fast" }
+        TestClassRunInfo unknown = Stub() { getTestClassName() >> "Unknown" }
+        TestClassProcessor asyncProcessor1 = Mock()
+        TestClassProcessor asyncProcessor2 = Mock()
+        def balancing = new MaxNParallelTestClassProcessor(2, factory, actorFactory, [Slow: 100L, Medium: 60L, Fast: 30L])
+        1 * actorFactory.createActor(resultProcessor) >> resultProcessorActor
+        1 * resultProcessorActor.getProxy(TestResultProcessor) >> asyncResultProcessor
+        balancing.startProcessing(resultProcessor)
+        2 * factory.create() >> Mock(TestClassProcessor)
+        2 * actorFactory.createActor(_) >>> [Stub(Actor) { getProxy(TestClassProcessor) >> asyncProcessor1 }, Stub(Actor) { getProxy(TestClassProcessor) >> asyncProcessor2 }]
+
+        when:
+        balancing.processTestClass(slow)
+        balancing.processTestClass(medium)
+        balancing.processTestClass(fast)
+        balancing.processTestClass(fast)
+        balancing.processTestClass(unknown)
+
+        then:
+        1 * asyncProcessor1.processTestClass(slow)
+        1 * asyncProcessor2.processTestClass(medium)
+        2 * asyncProcessor2.processTestClass(fast)
+        1 * asyncProcessor1.processTestClass(unknown)
+    }
+
     def "stopNow propagates to factory created processors"() {
         TestClassRunInfo test = Mock()
         TestClassProcessor processor1 = Mock()